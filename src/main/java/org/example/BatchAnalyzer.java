@@ -0,0 +1,278 @@
+package org.example;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Пакетный анализ архива сыгранных партий.
+ * Партии читаются из файла потоком, каждая повторяется по правилам CheckersGame,
+ * каждая позиция оценивается движком, ошибки помечаются "?" и "??" с лучшей альтернативой.
+ * Анализ идёт в ForkJoinPool (одна задача на партию), прогресс сохраняется в файл контрольной точки,
+ * так что после перезапуска обработка продолжается с того же места.
+ *
+ * Формат входа: одна партия в строке — "id<TAB>ходы" (или просто ходы, тогда id — номер строки),
+ * ходы вида "c3-d4" и "c3:e5:g3", номера ходов "1." и результат "1-0", "0-1", "1/2-1/2", "*" пропускаются.
+ * Пустые строки и строки, начинающиеся с '#', игнорируются.
+ * Для международных шашек (10x10) поля записываются номерами 1..50: "32-28", "19x30" (см. Notation).
+ * У взятия достаточно указать начало и конец — ход восстанавливается по списку полных ходов позиции.
+ */
+public class BatchAnalyzer {
+
+    // Сколько партий обрабатываем между контрольными точками
+    private static final int BATCH_SIZE = 1024;
+
+    // Пороги потери оценки (в сотых шашки) для пометок "?" и "??"
+    private static final int MISTAKE_THRESHOLD = 100;
+    private static final int BLUNDER_THRESHOLD = 250;
+
+    private static final Set<String> RESULTS = Set.of("1-0", "0-1", "1/2-1/2", "*");
+
+    private final Variant variant;
+    private final ForkJoinPool pool;
+
+    // У каждого рабочего потока свой движок (состояние поиска не разделяется между задачами)
+    private final ThreadLocal<Engine> engines;
+
+    public BatchAnalyzer(Variant variant, int depth, long nodeLimit, int threads) {
+        this.variant = variant;
+        this.pool = new ForkJoinPool(threads);
+        this.engines = ThreadLocal.withInitial(() -> new Engine(depth, nodeLimit));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Использование: BatchAnalyzer <архив партий> <файл результатов> [глубина] [узлов на позицию] [потоков] [russian|international]");
+            System.exit(1);
+        }
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        long nodes = args.length > 3 ? Long.parseLong(args[3]) : 200_000;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        Variant variant = args.length > 5 ? Variant.valueOf(args[5].toUpperCase(Locale.ROOT)) : Variant.RUSSIAN;
+
+        BatchAnalyzer analyzer = new BatchAnalyzer(variant, depth, nodes, threads);
+        try {
+            analyzer.run(Path.of(args[0]), Path.of(args[1]));
+        } finally {
+            analyzer.pool.shutdown();
+        }
+    }
+
+    // Анализ всего архива с продолжением от контрольной точки "<output>.checkpoint"
+    public void run(Path input, Path output) throws IOException {
+        Path checkpoint = output.resolveSibling(output.getFileName() + ".checkpoint");
+
+        // Контрольная точка: сколько строк входа уже обработано и сколько байт результатов им соответствует
+        long linesDone = 0, bytesDone = 0;
+        if (Files.exists(checkpoint)) {
+            String[] parts = Files.readString(checkpoint).trim().split("\\s+");
+            linesDone = Long.parseLong(parts[0]);
+            bytesDone = Long.parseLong(parts[1]);
+            System.out.println("Продолжаем со строки " + linesDone);
+
+            // Результатов меньше, чем записано в контрольной точке (потеряны при сбое или удалены) —
+            // продолжать нельзя, иначе в выводе останется дыра
+            long outputSize = Files.exists(output) ? Files.size(output) : -1;
+            if (outputSize < bytesDone)
+                throw new IOException("Файл результатов " + output + " короче контрольной точки ("
+                        + Math.max(outputSize, 0) + " < " + bytesDone + " байт), продолжение невозможно");
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             FileOutputStream fos = new FileOutputStream(output.toFile(), linesDone > 0);
+             Writer out = new BufferedWriter(new OutputStreamWriter(fos, StandardCharsets.UTF_8))) {
+
+            // Отбрасываем результаты, записанные после последней контрольной точки (прерванный пакет)
+            fos.getChannel().truncate(bytesDone);
+
+            long lineNo = 0;
+            while (lineNo < linesDone && in.readLine() != null) lineNo++;
+
+            long games = 0;
+            long started = System.nanoTime();
+            List<GameTask> batch = new ArrayList<>(BATCH_SIZE);
+            String line;
+            boolean eof = false;
+
+            while (!eof) {
+                // Набираем пакет партий, не загружая весь архив в память
+                batch.clear();
+                while (batch.size() < BATCH_SIZE) {
+                    line = in.readLine();
+                    if (line == null) { eof = true; break; }
+                    lineNo++;
+                    String trimmed = line.trim();
+                    if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+                    batch.add(new GameTask(lineNo, trimmed));
+                }
+
+                // Одна fork/join-задача на партию; результаты пишем в исходном порядке
+                for (GameTask task : batch) pool.execute(task);
+                for (GameTask task : batch) out.write(task.join());
+
+                // Контрольная точка ссылается только на результаты, уже сброшенные на диск
+                out.flush();
+                fos.getChannel().force(true);
+                writeCheckpoint(checkpoint, lineNo, fos.getChannel().size());
+
+                games += batch.size();
+                double minutes = (System.nanoTime() - started) / 60e9;
+                System.out.printf(Locale.ROOT, "Обработано партий: %d (%.0f партий/мин)%n",
+                        games, minutes > 0 ? games / minutes : 0.0);
+            }
+        }
+    }
+
+    // Атомарная запись контрольной точки (через временный файл)
+    private static void writeCheckpoint(Path checkpoint, long lines, long bytes) throws IOException {
+        Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.writeString(tmp, lines + " " + bytes + System.lineSeparator());
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Анализ одной партии: повтор ходов, оценка каждой позиции, аннотированная запись
+    private class GameTask extends RecursiveTask<String> {
+        private static final long serialVersionUID = 1L;
+
+        private final long lineNo;
+        private final String line;
+
+        GameTask(long lineNo, String line) {
+            this.lineNo = lineNo;
+            this.line = line;
+        }
+
+        @Override
+        protected String compute() {
+            String id = String.valueOf(lineNo);
+            String movesText = line;
+            int tab = line.indexOf('\t');
+            if (tab >= 0) {
+                id = line.substring(0, tab).trim();
+                movesText = line.substring(tab + 1);
+            }
+
+            try {
+                return id + '\t' + annotate(parseMoves(movesText)) + System.lineSeparator();
+            } catch (IllegalArgumentException e) {
+                return id + "\tERROR: " + e.getMessage() + System.lineSeparator();
+            }
+        }
+
+        private List<String> parseMoves(String text) {
+            List<String> moves = new ArrayList<>();
+            for (String token : text.trim().split("\\s+")) {
+                if (token.isEmpty() || token.endsWith(".") || RESULTS.contains(token)) continue;
+                moves.add(token);
+            }
+            return moves;
+        }
+
+        private String annotate(List<String> moves) {
+            Engine engine = engines.get();
+
+            // Повторяем партию, запоминая позицию перед каждым ходом (и финальную)
+            List<CheckersGame> positions = new ArrayList<>(moves.size() + 1);
+            CheckersGame game = new CheckersGame(variant);
+            positions.add(new CheckersGame(game));
+            List<List<Move>> played = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                played.add(replay(game, moves.get(i), i));
+                positions.add(new CheckersGame(game));
+            }
+
+            // Каждую позицию оцениваем один раз: оценка "после хода" — это оценка следующей позиции
+            Engine.Result[] evals = new Engine.Result[positions.size()];
+            for (int i = 0; i < evals.length; i++) evals[i] = engine.analyze(positions.get(i));
+
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < moves.size(); i++) {
+                boolean white = positions.get(i).isWhiteTurn();
+                if (white) sb.append(i / 2 + 1).append(". ");
+
+                sb.append(Notation.format(played.get(i), variant));
+
+                // Оценки с точки зрения сделавшего ход: до хода и после него
+                int before = evals[i].score();
+                int after = -evals[i + 1].score();
+                int loss = before - after;
+
+                // Лучший ход тот же, что сыгран (в том числе взятие тех же фигур в другом порядке), — не ошибка
+                Position best = evals[i].after();
+                boolean playedBest = best != null && best.sameBoard(Position.of(positions.get(i + 1)));
+
+                if (loss >= MISTAKE_THRESHOLD && !playedBest) {
+                    sb.append(loss >= BLUNDER_THRESHOLD ? "??" : "?");
+                    // В комментарии оценки даём с точки зрения белых, как принято
+                    sb.append(" {").append(formatScore(white ? before : -before))
+                            .append(" -> ").append(formatScore(white ? after : -after))
+                            .append(", лучше ").append(Notation.format(evals[i].bestMove(), variant)).append('}');
+                }
+                sb.append(' ');
+            }
+            return sb.toString().trim();
+        }
+    }
+
+    // Повтор одного хода записи: ищем его среди полных ходов позиции и выполняем по шагам.
+    // Сначала — ход, у которого совпадают все записанные поля; только если такого нет, взятие,
+    // записанное началом и концом, восстанавливается по концам (если побитые фигуры определены однозначно)
+    static List<Move> replay(CheckersGame game, String text, int ply) {
+        List<Move> written = Notation.parse(text, game.getVariant());
+        List<Position> results = new ArrayList<>();
+        List<List<Move>> paths = new ArrayList<>();
+        Position.of(game).generate(results, paths);
+
+        int found = find(paths, results, written, false, text, ply);
+        if (found < 0 && written.size() == 1) found = find(paths, results, written, true, text, ply);
+        if (found < 0)
+            throw new IllegalArgumentException("недопустимый ход " + text + " (полуход " + (ply + 1) + ")");
+
+        List<Move> steps = paths.get(found);
+        for (Move step : steps) {
+            if (!game.applyMove(step))
+                throw new IllegalArgumentException("недопустимый ход " + text + " (полуход " + (ply + 1) + ")");
+        }
+        return steps;
+    }
+
+    // Индекс подходящего под запись полного хода или -1
+    private static int find(List<List<Move>> paths, List<Position> results, List<Move> written,
+                            boolean endpointsOnly, String text, int ply) {
+        int found = -1;
+        for (int i = 0; i < paths.size(); i++) {
+            if (!matches(paths.get(i), written, endpointsOnly)) continue;
+            if (found < 0) found = i;
+            // Те же поля, но побиты разные фигуры — по записи ход не восстановить
+            else if (!results.get(i).sameBoard(results.get(found)))
+                throw new IllegalArgumentException("неоднозначный ход " + text + " (полуход " + (ply + 1) + ")");
+        }
+        return found;
+    }
+
+    // Совпадают начало и конец хода, а если endpointsOnly == false — и все промежуточные поля
+    private static boolean matches(List<Move> path, List<Move> written, boolean endpointsOnly) {
+        Move first = path.get(0), last = path.get(path.size() - 1);
+        Move wFirst = written.get(0), wLast = written.get(written.size() - 1);
+        if (first.fromRow != wFirst.fromRow || first.fromCol != wFirst.fromCol ||
+                last.toRow != wLast.toRow || last.toCol != wLast.toCol) return false;
+        if (endpointsOnly) return true;
+        if (written.size() != path.size()) return false;
+
+        for (int i = 0; i < path.size(); i++) {
+            if (path.get(i).toRow != written.get(i).toRow || path.get(i).toCol != written.get(i).toCol)
+                return false;
+        }
+        return true;
+    }
+
+    // Оценка в шашках со знаком; выигрыш/проигрыш — отдельной пометкой
+    private static String formatScore(int score) {
+        if (score > Engine.WIN_SCORE - 1000) return "+WIN";
+        if (score < -Engine.WIN_SCORE + 1000) return "-WIN";
+        return String.format(Locale.ROOT, "%+.2f", score / 100.0);
+    }
+}
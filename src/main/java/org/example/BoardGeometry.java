@@ -0,0 +1,59 @@
+package org.example;
+
+// Геометрия квадратной доски: нумерация клеток (row * size + col) и заранее посчитанные таблицы
+// соседей и лучей по 4 диагоналям — генерация ходов обходит таблицы вместо проверок границ.
+public final class BoardGeometry {
+
+    // Направления: 0, 1 — "вверх" (к 0-й строке, ход белых), 2, 3 — "вниз"
+    public static final int[] DR = {-1, -1, 1, 1};
+    public static final int[] DC = {-1, 1, -1, 1};
+
+    public static final BoardGeometry SIZE_8 = new BoardGeometry(8);
+    public static final BoardGeometry SIZE_10 = new BoardGeometry(10);
+
+    private final int size;
+
+    // Соседняя клетка по направлению (-1 — край доски): neighbor[клетка][направление]
+    private final int[][] neighbor;
+
+    // Все клетки по направлению до края доски, от ближней к дальней: ray[клетка][направление]
+    private final int[][][] ray;
+
+    private BoardGeometry(int size) {
+        this.size = size;
+        int squares = size * size;
+        neighbor = new int[squares][4];
+        ray = new int[squares][4][];
+
+        for (int s = 0; s < squares; s++) {
+            for (int d = 0; d < 4; d++) {
+                int r = s / size + DR[d], c = s % size + DC[d];
+                neighbor[s][d] = isValid(r, c) ? index(r, c) : -1;
+
+                int len = 0;
+                while (isValid(s / size + DR[d] * (len + 1), s % size + DC[d] * (len + 1))) len++;
+                ray[s][d] = new int[len];
+                for (int i = 0; i < len; i++)
+                    ray[s][d][i] = index(s / size + DR[d] * (i + 1), s % size + DC[d] * (i + 1));
+            }
+        }
+    }
+
+    public int size() { return size; }
+
+    public int squares() { return size * size; }
+
+    public int index(int row, int col) { return row * size + col; }
+
+    public int row(int square) { return square / size; }
+
+    public int col(int square) { return square % size; }
+
+    // Проверка координат на попадание в диапазон 0..size-1
+    public boolean isValid(int row, int col) { return row >= 0 && row < size && col >= 0 && col < size; }
+
+    // Таблицы целиком — для горячих циклов генерации ходов
+    int[][] neighbors() { return neighbor; }
+
+    int[][][] rays() { return ray; }
+}
@@ -8,7 +8,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class BoardPanel extends JPanel {
-    private static final int S = 72; // Размер клетки
+    private static final int BOARD_PX = 576; // Размер доски в пикселях (8 клеток по 72)
+    private final int n; // Клеток в ряду
+    private final int cell; // Размер клетки
     private final CheckersGame game;
     private final JFrame frame;
     private final GameMode mode;
@@ -18,7 +20,9 @@ public class BoardPanel extends JPanel {
         this.game = game;
         this.frame = frame;
         this.mode = mode;
-        setPreferredSize(new Dimension(8 * S + 40, 8 * S + 40));
+        this.n = game.getVariant().size();
+        this.cell = BOARD_PX / n;
+        setPreferredSize(new Dimension(n * cell + 40, n * cell + 40));
         setBackground(new Color(139, 115, 85));
 
         addMouseListener(new MouseAdapter() {
@@ -29,9 +33,9 @@ public class BoardPanel extends JPanel {
                     int x = e.getX() - 20;
                     int y = e.getY() - 20;
                     if (x >= 0 && y >= 0) {
-                        int c = x / S;
-                        int r = y / S;
-                        if (c < 8 && r < 8) {
+                        int c = x / cell;
+                        int r = y / cell;
+                        if (c < n && r < n) {
                             game.click(r, c);
                             updateTitle();
                             repaint();
@@ -117,7 +121,7 @@ public class BoardPanel extends JPanel {
     }
 
     private void updateTitle() {
-        String title = "Русские шашки — " + game.getTurnText();
+        String title = game.getVariant().title() + " — " + game.getTurnText();
         if (mode == GameMode.AI_VS_AI) title += " (ИИ vs ИИ)";
         else if (mode == GameMode.AI_VS_HUMAN_WHITE) title += " (вы за белых)";
         else if (mode == GameMode.AI_VS_HUMAN_BLACK) title += " (вы за чёрных)";
@@ -133,52 +137,52 @@ public class BoardPanel extends JPanel {
         int offsetX = 20, offsetY = 20;
 
         // Доска
-        for (int r = 0; r < 8; r++) for (int c = 0; c < 8; c++) {
+        for (int r = 0; r < n; r++) for (int c = 0; c < n; c++) {
             g2.setColor((r + c) % 2 == 0 ? new Color(240, 217, 181) : new Color(181, 136, 99));
-            g2.fillRect(offsetX + c * S, offsetY + r * S, S, S);
+            g2.fillRect(offsetX + c * cell, offsetY + r * cell, cell, cell);
         }
 
         // Координаты
         g2.setColor(new Color(50, 50, 50));
         g2.setFont(new Font("Arial", Font.BOLD, 18));
-        for (int i = 0; i < 8; i++) {
-            g2.drawString(String.valueOf((char) ('a' + i)), offsetX + i * S + S/2 - 5, offsetY + 8 * S + 18);
-            g2.drawString(String.valueOf(8 - i), offsetX - 15, offsetY + i * S + S / 2 + 5);
+        for (int i = 0; i < n; i++) {
+            g2.drawString(String.valueOf((char) ('a' + i)), offsetX + i * cell + cell/2 - 5, offsetY + n * cell + 18);
+            g2.drawString(String.valueOf(n - i), offsetX - (n - i >= 10 ? 20 : 15), offsetY + i * cell + cell / 2 + 5);
         }
 
         // Выделенная шашка
         Move sel = game.getSelected();
         if (sel != null && sel.fromRow >= 0) {
-            int x = offsetX + sel.fromCol * S + 2;
-            int y = offsetY + sel.fromRow * S + 2;
+            int x = offsetX + sel.fromCol * cell + 2;
+            int y = offsetY + sel.fromRow * cell + 2;
             g2.setColor(Color.GREEN);
             g2.setStroke(new BasicStroke(3));
-            g2.drawRect(x, y, S - 4, S - 4);
+            g2.drawRect(x, y, cell - 4, cell - 4);
             g2.setStroke(new BasicStroke(1));
         }
 
         // Возможные ходы
         for (Move m : game.getPossibleMoves()) {
-            int tx = offsetX + m.toCol * S + S/2;
-            int ty = offsetY + m.toRow * S + S/2;
+            int tx = offsetX + m.toCol * cell + cell/2;
+            int ty = offsetY + m.toRow * cell + cell/2;
             g2.setColor(new Color(0, 255, 0, 150));
             g2.fillOval(tx - 8, ty - 8, 16, 16);
 
             // Если это взятие — подсвечиваем путь
             if (m.isCapture) {
                 g2.setColor(new Color(255, 0, 0, 100));
-                g2.fillRect(offsetX + m.toCol * S, offsetY + m.toRow * S, S, S);
+                g2.fillRect(offsetX + m.toCol * cell, offsetY + m.toRow * cell, cell, cell);
             }
         }
 
         // Шашки
-        for (int r = 0; r < 8; r++) for (int c = 0; c < 8; c++) {
+        for (int r = 0; r < n; r++) for (int c = 0; c < n; c++) {
             Piece p = game.get(r, c);
             if (p == Piece.EMPTY) continue;
 
-            int x = offsetX + c * S + 8;
-            int y = offsetY + r * S + 8;
-            int size = S - 16;
+            int x = offsetX + c * cell + 8;
+            int y = offsetY + r * cell + 8;
+            int size = cell - 16;
 
             // Тень
             g2.setColor(new Color(0, 0, 0, 50));
@@ -193,7 +197,7 @@ public class BoardPanel extends JPanel {
 
             if (p.isKing()) {
                 g2.setColor(p.isWhite() ? Color.BLACK : Color.YELLOW);
-                g2.setFont(new Font("Serif", Font.BOLD, 40));
+                g2.setFont(new Font("Serif", Font.BOLD, cell * 5 / 9));
                 FontMetrics fm = g2.getFontMetrics();
                 int kw = fm.stringWidth("K");
                 int kh = fm.getAscent();
@@ -4,8 +4,12 @@ import java.util.*;
 
 public class CheckersGame {
 
-    // Игровая доска 8x8 (каждая клетка хранит тип фигуры)
-    private final Piece[][] board = new Piece[8][8];
+    // Вариант правил и размер доски (8 — русские шашки, 10 — международные)
+    private final Variant variant;
+    private final int n;
+
+    // Игровая доска n x n (каждая клетка хранит тип фигуры)
+    private final Piece[][] board;
 
     // Флаг очереди хода: true — ход белых, false — ход чёрных
     private boolean whiteTurn = true;
@@ -19,11 +23,40 @@ public class CheckersGame {
     // Идёт ли серия взятий (когда после взятия нужно продолжать бить той же фигурой)
     private boolean inCaptureSequence = false;
 
-    // Конструктор: старт новой игры
+    // Ходы считает Position (по таблицам BoardGeometry, по правилам варианта) сразу целиком:
+    // полные ходы текущего игрока, позиции после них и сколько шагов текущего хода уже сделано
+    private final List<List<Move>> fullMoves = new ArrayList<>();
+    private final List<Position> fullResults = new ArrayList<>();
+    private int stepsTaken = 0;
+
+    // Конструктор: старт новой игры в русские шашки
     public CheckersGame() {
+        this(Variant.RUSSIAN);
+    }
+
+    // Конструктор: старт новой игры в выбранном варианте
+    public CheckersGame(Variant variant) {
+        this.variant = variant;
+        this.n = variant.size();
+        this.board = new Piece[n][n];
         resetGame();
     }
 
+    // Конструктор копирования: независимая копия позиции (для анализа и перебора вариантов)
+    public CheckersGame(CheckersGame other) {
+        variant = other.variant;
+        n = other.n;
+        board = new Piece[n][];
+        for (int r = 0; r < n; r++) board[r] = other.board[r].clone();
+        whiteTurn = other.whiteTurn;
+        selected = other.selected;
+        possibleMoves.addAll(other.possibleMoves);
+        inCaptureSequence = other.inCaptureSequence;
+        fullMoves.addAll(other.fullMoves);
+        fullResults.addAll(other.fullResults);
+        stepsTaken = other.stepsTaken;
+    }
+
     // Сброс состояния игры и обновление всех ходов
     public void resetGame() {
         whiteTurn = true;                 // Начинают белые
@@ -36,22 +69,25 @@ public class CheckersGame {
     // Инициализация стандартной начальной позиции
     private void initBoard() {
         // Заполняем всё пустыми клетками
-        for (int r = 0; r < 8; r++) Arrays.fill(board[r], Piece.EMPTY);
+        for (int r = 0; r < n; r++) Arrays.fill(board[r], Piece.EMPTY);
 
-        // Расставляем чёрные шашки (верхние 3 ряда по тёмным клеткам)
-        for (int r = 0; r < 3; r++)
-            for (int c = (r + 1) % 2; c < 8; c += 2)
+        // Расставляем чёрные шашки (верхние ряды по тёмным клеткам: 3 в русских, 4 в международных)
+        for (int r = 0; r < variant.menRows(); r++)
+            for (int c = (r + 1) % 2; c < n; c += 2)
                 board[r][c] = Piece.BLACK_MAN;
 
-        // Расставляем белые шашки (нижние 3 ряда по тёмным клеткам)
-        for (int r = 5; r < 8; r++)
-            for (int c = (r + 1) % 2; c < 8; c += 2)
+        // Расставляем белые шашки (нижние ряды по тёмным клеткам)
+        for (int r = n - variant.menRows(); r < n; r++)
+            for (int c = (r + 1) % 2; c < n; c += 2)
                 board[r][c] = Piece.WHITE_MAN;
     }
 
     // Получить фигуру на клетке
     public Piece get(int r, int c) { return board[r][c]; }
 
+    // Вариант правил (и размер доски)
+    public Variant getVariant() { return variant; }
+
     // Чей ход сейчас
     public boolean isWhiteTurn() { return whiteTurn; }
 
@@ -61,6 +97,9 @@ public class CheckersGame {
     // Текущий набор ходов (часто — для подсветки в UI)
     public Set<Move> getPossibleMoves() { return possibleMoves; }
 
+    // Продолжается ли серия взятий (ход ещё не передан сопернику)
+    public boolean isInCaptureSequence() { return inCaptureSequence; }
+
     // Текст для интерфейса
     public String getTurnText() { return whiteTurn ? "Ход белых" : "Ход чёрных"; }
 
@@ -91,28 +130,14 @@ public class CheckersGame {
             return;
         }
 
-        // Проверяем, обязателен ли бой у игрока в целом
-        boolean mustCapture = playerMustCapture();
-
-        // Считаем взятия именно для этой шашки
-        List<Move> captures = p.isKing() ? findKingCaptures(row, col) : findManCaptures(row, col);
-
+        // Ходы этой шашки — очередные шаги подходящих полных ходов (обязательность взятия в них уже учтена)
         possibleMoves.clear();
-
-        if (mustCapture) {
-            // Если обязателен бой — разрешаем выбрать только шашку, которая может бить
-            if (!captures.isEmpty()) {
-                possibleMoves.addAll(captures);
-                selected = new Move(row, col, -1, -1); // toRow/toCol тут не важны — это "маркер выбора"
-            } else {
-                selected = null;
-            }
-        } else {
-            // Если бой не обязателен — добавляем и взятия, и тихие ходы
-            possibleMoves.addAll(captures);
-            possibleMoves.addAll(p.isKing() ? findKingQuietMoves(row, col) : findManQuietMoves(row, col));
-            if (!possibleMoves.isEmpty()) selected = new Move(row, col, -1, -1);
+        for (List<Move> path : fullMoves) {
+            Move next = path.get(stepsTaken);
+            if (next.fromRow == row && next.fromCol == col) possibleMoves.add(next);
         }
+        if (!possibleMoves.isEmpty()) selected = new Move(row, col, -1, -1); // toRow/toCol тут не важны — это "маркер выбора"
+        else selected = null;
     }
 
     // Попытка выполнить ход выбранной шашкой в (toRow, toCol)
@@ -130,40 +155,52 @@ public class CheckersGame {
         }
         if (chosenMove == null) return false;
 
-        // Запоминаем, был ли это бой (чтобы решить — продолжать ли серию)
-        boolean wasCapture = chosenMove.isCapture;
-
-        // Выполняем перемещение и удаление побитых
-        executeMove(chosenMove);
-
-        if (wasCapture) {
-            // После взятия проверяем: может ли эта же шашка бить дальше (серия взятий)
-            Piece movedPiece = board[toRow][toCol];
-            List<Move> furtherCaptures = movedPiece.isKing()
-                    ? findKingCaptures(toRow, toCol)
-                    : findManCaptures(toRow, toCol);
-
-            // Если можно бить дальше — не меняем ход, принудительно оставляем выделение
-            if (!furtherCaptures.isEmpty()) {
-                selected = new Move(toRow, toCol, -1, -1);
-                possibleMoves.clear();
-                possibleMoves.addAll(furtherCaptures);
-                inCaptureSequence = true;
-                return true;
+        return continueFullMove(chosenMove);
+    }
+
+    // Шаг полного хода: серия взятий продолжается или ход применяется целиком
+    private boolean continueFullMove(Move m) {
+        // Оставляем только полные ходы, продолжающие сделанный шаг
+        for (int i = fullMoves.size() - 1; i >= 0; i--) {
+            if (!fullMoves.get(i).get(stepsTaken).equals(m)) {
+                fullMoves.remove(i);
+                fullResults.remove(i);
             }
         }
+        stepsTaken++;
+
+        // Если после этого шага бить дальше можно, то это верно для всех оставшихся ходов:
+        // серия, которую можно продолжить, обязана продолжаться
+        if (fullMoves.get(0).size() > stepsTaken) {
+            if (variant == Variant.RUSSIAN) {
+                // Русские шашки: побитая снимается сразу, дамкой можно стать посреди серии
+                executeMove(m);
+            } else {
+                // Международные: переносим фигуру, побитые остаются на доске до конца хода
+                board[m.toRow][m.toCol] = board[m.fromRow][m.fromCol];
+                board[m.fromRow][m.fromCol] = Piece.EMPTY;
+            }
+
+            selected = new Move(m.toRow, m.toCol, -1, -1);
+            possibleMoves.clear();
+            for (List<Move> path : fullMoves) possibleMoves.add(path.get(stepsTaken));
+            inCaptureSequence = true;
+            return true;
+        }
+
+        // Ход закончен — переносим на доску итоговую позицию (снятие побитых, превращение в дамку)
+        Position result = fullResults.get(0);
+        BoardGeometry geo = variant.geometry();
+        for (int s = 0; s < result.squares(); s++) board[geo.row(s)][geo.col(s)] = result.get(s);
 
-        // Если серия взятий закончилась (или был тихий ход) — передаём ход другому игроку
         whiteTurn = !whiteTurn;
         inCaptureSequence = false;
         selected = null;
-
-        // Пересчитываем все доступные ходы для нового игрока
         updatePossibleMoves();
         return true;
     }
 
-    // Непосредственное выполнение хода: перенос фигуры, удаление побитых, превращение в дамку
+    // Выполнение одного шага на доске (русские шашки, посреди серии): перенос фигуры, удаление побитой, превращение в дамку
     private void executeMove(Move m) {
         Piece p = board[m.fromRow][m.fromCol];
 
@@ -184,149 +221,23 @@ public class CheckersGame {
         }
 
         // Превращение в дамку при достижении последней линии
-        if ((p == Piece.WHITE_MAN && m.toRow == 0) || (p == Piece.BLACK_MAN && m.toRow == 7)) {
+        if ((p == Piece.WHITE_MAN && m.toRow == 0) || (p == Piece.BLACK_MAN && m.toRow == n - 1)) {
             board[m.toRow][m.toCol] = (p == Piece.WHITE_MAN) ? Piece.WHITE_KING : Piece.BLACK_KING;
         }
     }
 
-    // Проверка правила обязательного взятия: есть ли у текущего игрока хотя бы одно взятие
-    private boolean playerMustCapture() {
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = board[r][c];
-                if (p != Piece.EMPTY && p.isWhite() == whiteTurn) {
-                    // Если хотя бы одна фигура может бить — бой обязателен
-                    if (!(p.isKing() ? findKingCaptures(r, c) : findManCaptures(r, c)).isEmpty()) return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    // --- Поиск ходов для обычной шашки (тихие ходы) ---
-    private List<Move> findManQuietMoves(int r, int c) {
-        List<Move> moves = new ArrayList<>();
-
-        // Белые ходят "вверх" (к 0-й строке), чёрные — "вниз" (к 7-й строке)
-        int dir = (board[r][c] == Piece.WHITE_MAN) ? -1 : 1;
-
-        // У обычной шашки 2 направления по диагонали
-        for (int dc = -1; dc <= 1; dc += 2) {
-            if (isValid(r + dir, c + dc) && board[r + dir][c + dc] == Piece.EMPTY)
-                moves.add(new Move(r, c, r + dir, c + dc, false));
-        }
-        return moves;
-    }
-
-    // --- Поиск взятий для обычной шашки ---
-    private List<Move> findManCaptures(int r, int c) {
-        List<Move> moves = new ArrayList<>();
-        Piece current = board[r][c];
-
-        // Взятие возможно во всех 4 диагональных направлениях (в данной реализации)
-        for (int dr = -1; dr <= 1; dr += 2) {
-            for (int dc = -1; dc <= 1; dc += 2) {
-                // Для взятия нужно перескочить через соседнюю клетку
-                if (isValid(r + dr * 2, c + dc * 2)) {
-                    Piece mid = board[r + dr][c + dc];
-                    // В середине должен стоять противник, а конечная клетка — быть пустой
-                    if (mid != Piece.EMPTY && mid.isWhite() != current.isWhite() &&
-                            board[r + dr * 2][c + dc * 2] == Piece.EMPTY) {
-                        moves.add(new Move(r, c, r + dr * 2, c + dc * 2, true));
-                    }
-                }
-            }
-        }
-        return moves;
-    }
-
-    // --- Тихие ходы дамки: скольжение по диагонали на любую дистанцию ---
-    private List<Move> findKingQuietMoves(int r, int c) {
-        List<Move> moves = new ArrayList<>();
-
-        // Дамка ходит по 4 диагоналям
-        for (int dr = -1; dr <= 1; dr += 2) {
-            for (int dc = -1; dc <= 1; dc += 2) {
-                // Дамка может идти на 1..7 клеток, пока не упрётся
-                for (int dist = 1; dist < 8; dist++) {
-                    int nr = r + dr * dist, nc = c + dc * dist;
-                    // За границы нельзя, на занятую клетку нельзя
-                    if (!isValid(nr, nc) || board[nr][nc] != Piece.EMPTY) break;
-                    moves.add(new Move(r, c, nr, nc, false));
-                }
-            }
-        }
-        return moves;
-    }
-
-    // --- Взятия дамки: находим первую вражескую фигуру по диагонали и любые посадочные клетки за ней ---
-    private List<Move> findKingCaptures(int r, int c) {
-        List<Move> moves = new ArrayList<>();
-        Piece current = board[r][c];
-
-        // Для каждого диагонального направления ищем первую вражескую шашку
-        for (int dr = -1; dr <= 1; dr += 2) {
-            for (int dc = -1; dc <= 1; dc += 2) {
-                int eR = -1, eC = -1;
-
-                // Шаг 1: найти первую непустую клетку на диагонали
-                for (int dist = 1; dist < 8; dist++) {
-                    int nr = r + dr * dist, nc = c + dc * dist;
-                    if (!isValid(nr, nc)) break;
-
-                    Piece t = board[nr][nc];
-                    if (t == Piece.EMPTY) continue;
-
-                    // Своя фигура блокирует диагональ
-                    if (t.isWhite() == current.isWhite()) break;
-
-                    // Нашли вражескую фигуру — потенциальное взятие
-                    eR = nr; eC = nc;
-                    break;
-                }
-
-                // Шаг 2: после найденного врага добавляем все пустые клетки дальше как возможные landing
-                if (eR != -1) {
-                    for (int dist = 1; dist < 8; dist++) {
-                        int nr = eR + dr * dist, nc = eC + dc * dist;
-                        if (!isValid(nr, nc) || board[nr][nc] != Piece.EMPTY) break;
-                        moves.add(new Move(r, c, nr, nc, true));
-                    }
-                }
-            }
-        }
-        return moves;
-    }
-
-    // Проверка координат на попадание в диапазон 0..7
-    private boolean isValid(int r, int c) { return r >= 0 && r < 8 && c >= 0 && c < 8; }
-
     // Пересчёт всех доступных ходов для текущего игрока (в целом по доске)
     private void updatePossibleMoves() {
         possibleMoves.clear();    // Сбрасываем предыдущие ходы
         selected = null;          // Сбрасываем выделение
         inCaptureSequence = false;// Сбрасываем серию взятий (новый расчёт)
 
-        boolean mustCapture = playerMustCapture();
-
-        // Собираем ходы всех фигур текущего игрока
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = board[r][c];
-                if (p != Piece.EMPTY && p.isWhite() == whiteTurn) {
-                    List<Move> cMoves = p.isKing() ? findKingCaptures(r, c) : findManCaptures(r, c);
-                    List<Move> qMoves = p.isKing() ? findKingQuietMoves(r, c) : findManQuietMoves(r, c);
-
-                    // Если бой обязателен — добавляем только взятия
-                    if (mustCapture) possibleMoves.addAll(cMoves);
-                    else {
-                        // Иначе — и взятия, и тихие ходы
-                        possibleMoves.addAll(cMoves);
-                        possibleMoves.addAll(qMoves);
-                    }
-                }
-            }
-        }
+        // Полные ходы считаем в Position; на доске подсвечиваем их первые шаги
+        fullMoves.clear();
+        fullResults.clear();
+        stepsTaken = 0;
+        Position.of(this).generate(fullResults, fullMoves);
+        for (List<Move> path : fullMoves) possibleMoves.add(path.get(0));
     }
 
     // --- ИИ: делает простой случайный ход из possibleMoves ---
@@ -345,9 +256,20 @@ public class CheckersGame {
                 ? captures.get(new Random().nextInt(captures.size()))
                 : quiets.get(new Random().nextInt(quiets.size()));
 
-        // "Выделяем" шашку ИИ и выполняем ход через общую логику tryMove (с сериями взятий)
-        selected = new Move(chosen.fromRow, chosen.fromCol, -1, -1);
-        tryMove(chosen.toRow, chosen.toCol);
+        applyMove(chosen);
+    }
+
+    // Выполнить ход из possibleMoves (для ИИ, повтора партий и анализа); false — ход недопустим
+    public boolean applyMove(Move m) {
+        Move previous = selected;
+
+        // "Выделяем" шашку и выполняем ход через общую логику tryMove (с сериями взятий)
+        selected = new Move(m.fromRow, m.fromCol, -1, -1);
+        if (tryMove(m.toRow, m.toCol)) return true;
+
+        // Ход не найден — возвращаем выделение как было
+        selected = previous;
+        return false;
     }
 
     // Возвращает имя победителя или null, если игра продолжается
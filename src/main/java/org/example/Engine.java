@@ -0,0 +1,111 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Поисковый движок: альфа-бета перебор по полным ходам (серия взятий — один ход) с материальной оценкой.
+// Экземпляр не потокобезопасен: в пакетном анализе у каждого рабочего потока свой движок.
+public class Engine {
+
+    // Оценки в "сотых шашки": простая шашка — 100, дамка — 300
+    public static final int MAN_VALUE = 100;
+    public static final int KING_VALUE = 300;
+    public static final int WIN_SCORE = 100_000;
+
+    // Результат поиска: оценка с точки зрения стороны, чей ход, лучший ход (список шагов)
+    // и позиция после него (null, если ходов нет)
+    public record Result(int score, List<Move> bestMove, Position after, int depth, long nodes) {}
+
+    private final int maxDepth;   // Максимальная глубина (в полных ходах)
+    private final long nodeLimit; // Бюджет узлов на одну позицию (0 — без ограничения)
+
+    // Состояние текущего поиска
+    private long nodes;
+    private boolean aborted;
+
+    public Engine(int maxDepth, long nodeLimit) {
+        if (maxDepth < 1) throw new IllegalArgumentException("Глубина должна быть не меньше 1");
+        this.maxDepth = maxDepth;
+        this.nodeLimit = nodeLimit;
+    }
+
+    public Result analyze(CheckersGame game) {
+        return analyze(Position.of(game));
+    }
+
+    // Анализ позиции итеративным углублением: возвращаем результат последней полностью завершённой глубины
+    public Result analyze(Position position) {
+        nodes = 0;
+        aborted = false;
+
+        List<Position> children = new ArrayList<>();
+        List<List<Move>> paths = new ArrayList<>();
+        position.generate(children, paths);
+        if (children.isEmpty()) return new Result(-WIN_SCORE, List.of(), null, 0, 0);
+
+        // Порядок корневых ходов: индексы в children/paths, лучший на предыдущей глубине — первым
+        int[] order = new int[children.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+
+        Result result = null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int bestScore = -WIN_SCORE - 1;
+            int best = -1, bestAt = -1;
+
+            for (int k = 0; k < order.length; k++) {
+                int score = -search(children.get(order[k]), depth - 1, -WIN_SCORE - 1, -bestScore, 1);
+                if (aborted) break;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = order[k];
+                    bestAt = k;
+                }
+            }
+
+            // Неполную итерацию не используем (кроме самой первой — иначе нечего вернуть)
+            if (aborted && result != null) break;
+            if (best >= 0) {
+                result = new Result(bestScore, paths.get(best), children.get(best), depth, nodes);
+                System.arraycopy(order, 0, order, 1, bestAt);
+                order[0] = best;
+            }
+            if (aborted) break;
+        }
+        return result != null ? result : new Result(evaluate(position), paths.get(0), children.get(0), 0, nodes);
+    }
+
+    // Негамакс с альфа-бета отсечением; оценка — с точки зрения стороны, чей ход.
+    // На нулевой глубине обязательные взятия всё равно доигрываются, чтобы не оценивать позицию посреди размена.
+    private int search(Position pos, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        if (nodeLimit > 0 && nodes >= nodeLimit) aborted = true;
+
+        List<Position> children = new ArrayList<>();
+        boolean captures = pos.generate(children, null);
+
+        // Нет ходов — поражение (чем раньше, тем хуже)
+        if (children.isEmpty()) return -WIN_SCORE + ply;
+        if (aborted || (depth <= 0 && !captures)) return evaluate(pos);
+
+        int best = -WIN_SCORE - 1;
+        for (Position child : children) {
+            int score = -search(child, depth - 1, -beta, -alpha, ply + 1);
+            if (score > best) best = score;
+            if (best > alpha) alpha = best;
+            if (alpha >= beta || aborted) break;
+        }
+        return best;
+    }
+
+    // Материальная оценка с точки зрения стороны, чей ход
+    public static int evaluate(Position pos) {
+        int score = 0;
+        for (int s = 0; s < pos.squares(); s++) {
+            Piece p = pos.get(s);
+            if (p == Piece.EMPTY) continue;
+            int value = p.isKing() ? KING_VALUE : MAN_VALUE;
+            score += p.isWhite() ? value : -value;
+        }
+        return pos.isWhiteTurn() ? score : -score;
+    }
+}
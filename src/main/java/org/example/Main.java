@@ -14,7 +14,7 @@ public class Main {
 
             int choice = JOptionPane.showOptionDialog(null,
                     "Выберите режим игры:",
-                    "Русские шашки",
+                    "Шашки",
                     JOptionPane.DEFAULT_OPTION,
                     JOptionPane.INFORMATION_MESSAGE,
                     null, options, options[0]);
@@ -26,8 +26,22 @@ public class Main {
                 default -> GameMode.HUMAN_VS_HUMAN;
             };
 
-            CheckersGame game = new CheckersGame();
-            JFrame frame = new JFrame("Русские шашки");
+            String[] variants = {
+                    "Русские шашки (8x8)",
+                    "Международные шашки (10x10)"
+            };
+
+            int variantChoice = JOptionPane.showOptionDialog(null,
+                    "Выберите вариант:",
+                    "Шашки",
+                    JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.INFORMATION_MESSAGE,
+                    null, variants, variants[0]);
+
+            Variant variant = variantChoice == 1 ? Variant.INTERNATIONAL : Variant.RUSSIAN;
+
+            CheckersGame game = new CheckersGame(variant);
+            JFrame frame = new JFrame(variant.title());
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
             frame.setResizable(false);
             frame.add(new BoardPanel(game, frame, mode));
@@ -0,0 +1,89 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Запись ходов в шашечной нотации.
+// Русские шашки: поля "c3", тихий ход "c3-d4", взятие "c3:e5:g3".
+// Международные шашки: тёмные поля пронумерованы 1..50 (1 — верхний ряд слева, 50 — нижний справа),
+// тихий ход "32-28", взятие "19x30" или с промежуточными полями "19x28x37"; при разборе принимаются и поля "a1".."j10"
+public final class Notation {
+
+    private Notation() {}
+
+    // Поле в нотации (столбцы a, b, ... слева направо, ряды size..1 сверху вниз — как на доске в BoardPanel)
+    public static String square(int row, int col, int size) {
+        return String.valueOf((char) ('a' + col)) + (size - row);
+    }
+
+    // Номер тёмного поля: по size/2 полей в ряду, сверху вниз и слева направо
+    public static int squareNumber(int row, int col, int size) {
+        return row * (size / 2) + col / 2 + 1;
+    }
+
+    // Запись полного хода (одного шага или целой серии взятий)
+    public static String format(List<Move> steps, Variant variant) {
+        if (steps.isEmpty()) return "";
+        Move first = steps.get(0);
+        StringBuilder sb = new StringBuilder(formatSquare(first.fromRow, first.fromCol, variant));
+        for (Move m : steps) {
+            sb.append(separator(m.isCapture, variant)).append(formatSquare(m.toRow, m.toCol, variant));
+        }
+        return sb.toString();
+    }
+
+    private static String formatSquare(int row, int col, Variant variant) {
+        int size = variant.size();
+        return variant == Variant.INTERNATIONAL
+                ? String.valueOf(squareNumber(row, col, size))
+                : square(row, col, size);
+    }
+
+    private static char separator(boolean capture, Variant variant) {
+        if (!capture) return '-';
+        return variant == Variant.INTERNATIONAL ? 'x' : ':';
+    }
+
+    // Разбор записанного хода в список шагов между записанными полями; признак взятия здесь не важен —
+    // его определяют правила при повторе. Взятие может быть записано только началом и концом.
+    public static List<Move> parse(String text, Variant variant) {
+        String[] squares = text.split("[-:x]");
+        if (squares.length < 2) throw new IllegalArgumentException("Некорректный ход: " + text);
+
+        List<Move> steps = new ArrayList<>();
+        int[] from = parseSquare(squares[0], text, variant);
+        for (int i = 1; i < squares.length; i++) {
+            int[] to = parseSquare(squares[i], text, variant);
+            steps.add(new Move(from[0], from[1], to[0], to[1]));
+            from = to;
+        }
+        return steps;
+    }
+
+    // Разбор поля ("c3" или номер "32" для международных шашек) в координаты {row, col}
+    private static int[] parseSquare(String sq, String text, Variant variant) {
+        int size = variant.size();
+        if (sq.isEmpty()) throw new IllegalArgumentException("Некорректный ход: " + text);
+
+        int row, col;
+        try {
+            if (Character.isDigit(sq.charAt(0))) {
+                if (variant != Variant.INTERNATIONAL) throw new IllegalArgumentException("Некорректный ход: " + text);
+                int k = Integer.parseInt(sq) - 1;
+                int perRow = size / 2;
+                if (k < 0 || k >= perRow * size) throw new IllegalArgumentException("Некорректный ход: " + text);
+                row = k / perRow;
+                col = 2 * (k % perRow) + (row % 2 == 0 ? 1 : 0);
+            } else {
+                if (sq.length() < 2) throw new IllegalArgumentException("Некорректный ход: " + text);
+                col = Character.toLowerCase(sq.charAt(0)) - 'a';
+                row = size - Integer.parseInt(sq.substring(1));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный ход: " + text);
+        }
+        if (row < 0 || row >= size || col < 0 || col >= size)
+            throw new IllegalArgumentException("Некорректный ход: " + text);
+        return new int[]{row, col};
+    }
+}
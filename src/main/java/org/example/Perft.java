@@ -0,0 +1,80 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Проверка генератора ходов Position: perft (число позиций на глубине N из начальной) и замер скорости.
+ * Счётчики сверяются с эталоном для каждого варианта:
+ * INTERNATIONAL — общепринятые значения для международных шашек;
+ * RUSSIAN — значения для правил CheckersGame (до глубины 7 совпадают с общепринятыми, дальше расходятся,
+ * потому что CheckersGame снимает побитые сразу, а не после хода).
+ *
+ * Запуск: Perft [russian|international] [глубина]; без аргументов — оба варианта.
+ */
+public class Perft {
+
+    private static final long[] RUSSIAN = {
+            1, 7, 49, 302, 1469, 7482, 37986, 190146, 929984, 4571392, 22487389
+    };
+
+    private static final long[] INTERNATIONAL = {
+            1, 9, 81, 658, 4265, 27117, 167140, 1049442, 6483961, 41022423
+    };
+
+    // Сколько раз повторяем самую глубокую итерацию для замера скорости (берём лучший)
+    private static final int BENCH_RUNS = 3;
+
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            Variant variant = Variant.valueOf(args[0].toUpperCase(Locale.ROOT));
+            int depth = args.length > 1 ? Integer.parseInt(args[1]) : defaultDepth(variant);
+            run(variant, depth);
+        } else {
+            for (Variant variant : Variant.values()) run(variant, defaultDepth(variant));
+        }
+    }
+
+    private static int defaultDepth(Variant variant) {
+        return variant == Variant.RUSSIAN ? 10 : 8;
+    }
+
+    private static void run(Variant variant, int depth) {
+        long[] expected = variant == Variant.RUSSIAN ? RUSSIAN : INTERNATIONAL;
+        Position start = Position.of(new CheckersGame(variant));
+        System.out.println(variant.title() + " (" + variant.size() + "x" + variant.size() + ")");
+
+        boolean ok = true;
+        for (int d = 1; d <= depth; d++) {
+            long t = System.nanoTime();
+            long count = perft(start, d);
+            long ms = (System.nanoTime() - t) / 1_000_000;
+
+            String check = d < expected.length ? (count == expected[d] ? "ok" : "ОЖИДАЛОСЬ " + expected[d]) : "";
+            if (d < expected.length && count != expected[d]) ok = false;
+            System.out.printf(Locale.ROOT, "  perft(%d) = %d  %d мс  %s%n", d, count, ms, check);
+        }
+
+        // Замер: лучший из нескольких прогонов самой глубокой итерации
+        long bestNs = Long.MAX_VALUE, count = 0;
+        for (int i = 0; i < BENCH_RUNS; i++) {
+            long t = System.nanoTime();
+            count = perft(start, depth);
+            bestNs = Math.min(bestNs, System.nanoTime() - t);
+        }
+        System.out.printf(Locale.ROOT, "  скорость: %.2f млн позиций/с%n", count * 1e3 / bestNs);
+        System.out.println(ok ? "  все счётчики совпали" : "  ЕСТЬ РАСХОЖДЕНИЯ");
+    }
+
+    // Число позиций на глубине depth (на последнем уровне — просто число ходов)
+    public static long perft(Position pos, int depth) {
+        List<Position> children = new ArrayList<>();
+        pos.generate(children, null);
+        if (depth == 1) return children.size();
+
+        long count = 0;
+        for (Position child : children) count += perft(child, depth - 1);
+        return count;
+    }
+}
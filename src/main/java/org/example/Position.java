@@ -0,0 +1,297 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Компактная позиция для перебора: все клетки в одном массиве, копирование вместо отмены хода.
+// Генерация ходов идёт по таблицам соседей и лучей из BoardGeometry, взятия — отдельным путём для каждого варианта:
+// RUSSIAN — побитые снимаются сразу, превращение в дамку посреди серии,
+// INTERNATIONAL — правило большинства и снятие побитых после хода (см. Variant).
+public final class Position {
+
+    // Таблицы 8x8 — константы: на самом частом пути (русские шашки) JIT подставляет их напрямую
+    private static final int[][] NEIGHBOR_8 = BoardGeometry.SIZE_8.neighbors();
+
+    private final Variant variant;
+    private final Piece[] sq;
+    private boolean whiteTurn;
+
+    private Position(Variant variant, Piece[] sq, boolean whiteTurn) {
+        this.variant = variant;
+        this.sq = sq;
+        this.whiteTurn = whiteTurn;
+    }
+
+    // Позиция из партии (на границе полного хода, вне серии взятий)
+    public static Position of(CheckersGame game) {
+        BoardGeometry geo = game.getVariant().geometry();
+        Piece[] sq = new Piece[geo.squares()];
+        for (int s = 0; s < sq.length; s++) sq[s] = game.get(geo.row(s), geo.col(s));
+        return new Position(game.getVariant(), sq, game.isWhiteTurn());
+    }
+
+    public boolean isWhiteTurn() { return whiteTurn; }
+
+    public int squares() { return sq.length; }
+
+    public Piece get(int s) { return sq[s]; }
+
+    // Одинаковая расстановка и очередь хода (например, взятие тех же фигур в другом порядке)
+    public boolean sameBoard(Position other) {
+        return whiteTurn == other.whiteTurn && Arrays.equals(sq, other.sq);
+    }
+
+    /**
+     * Все полные ходы стороны, чей ход: позиции после них добавляются в children,
+     * а если paths != null — туда же, в том же порядке, пишутся шаги каждого хода.
+     * Без paths одинаковые взятия в разном порядке считаются одним ходом (perft, перебор),
+     * с paths каждый порядок идёт отдельно, и итоговые позиции в children могут повторяться.
+     * Возвращает true, если ходы — взятия.
+     */
+    public boolean generate(List<Position> children, List<List<Move>> paths) {
+        return variant == Variant.RUSSIAN ? generateRussian(children, paths) : generateInternational(children, paths);
+    }
+
+    // Русские шашки: доска 8x8, свои таблицы-константы и превращение по номеру клетки
+    private boolean generateRussian(List<Position> children, List<List<Move>> paths) {
+        int before = children.size();
+        for (int s = 0; s < 64; s++) {
+            Piece p = sq[s];
+            if (p != Piece.EMPTY && p.isWhite() == whiteTurn)
+                russianCaptures(this, s, p, paths != null ? new Move[0] : null, children, paths);
+        }
+        if (children.size() > before) return true;
+
+        for (int s = 0; s < 64; s++) {
+            Piece p = sq[s];
+            if (p == Piece.EMPTY || p.isWhite() != whiteTurn) continue;
+
+            // Тихие ходы: шашка — на одну клетку вперёд, дамка — скольжением в 4 стороны
+            for (int d = 0; d < 4; d++) {
+                if (!p.isKing() && (BoardGeometry.DR[d] < 0) != p.isWhite()) continue;
+
+                int t = NEIGHBOR_8[s][d];
+                while (t >= 0 && sq[t] == Piece.EMPTY) {
+                    Position child = new Position(variant, sq.clone(), !whiteTurn);
+                    child.sq[s] = Piece.EMPTY;
+                    child.sq[t] = promote8(p, t);
+                    children.add(child);
+                    if (paths != null) paths.add(List.of(step(s, t, false)));
+
+                    if (!p.isKing()) break;
+                    t = NEIGHBOR_8[t][d];
+                }
+            }
+        }
+        return false;
+    }
+
+    // Международные шашки: взятия по правилу большинства, тихие ходы — по лучам геометрии
+    private boolean generateInternational(List<Position> children, List<List<Move>> paths) {
+        // Перебор серий заводим, только если есть хотя бы одно взятие — в большинстве позиций его нет
+        if (hasCapture()) {
+            new MaximumCapture(children, paths).generate();
+            return true;
+        }
+
+        for (int s = 0; s < sq.length; s++) {
+            Piece p = sq[s];
+            if (p != Piece.EMPTY && p.isWhite() == whiteTurn) quietMoves(s, p, children, paths);
+        }
+        return false;
+    }
+
+    // Может ли сторона, чей ход, побить хоть что-нибудь (первый шаг серии)
+    private boolean hasCapture() {
+        int[][][] ray = variant.geometry().rays();
+        for (int s = 0; s < sq.length; s++) {
+            Piece p = sq[s];
+            if (p == Piece.EMPTY || p.isWhite() != whiteTurn) continue;
+
+            for (int d = 0; d < 4; d++) {
+                int[] r = ray[s][d];
+                int i = 0;
+                if (p.isKing()) while (i < r.length && sq[r[i]] == Piece.EMPTY) i++;
+                if (i >= r.length - 1) continue;
+                if (sq[r[i]] != Piece.EMPTY && sq[r[i]].isWhite() != whiteTurn && sq[r[i + 1]] == Piece.EMPTY)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    // Тихие ходы: шашка — на одну клетку вперёд, дамка — скольжением в 4 стороны
+    private void quietMoves(int s, Piece p, List<Position> children, List<List<Move>> paths) {
+        int[][] ray = variant.geometry().rays()[s];
+        for (int d = 0; d < 4; d++) {
+            if (!p.isKing() && (BoardGeometry.DR[d] < 0) != p.isWhite()) continue;
+
+            for (int t : ray[d]) {
+                if (sq[t] != Piece.EMPTY) break;
+
+                Position child = new Position(variant, sq.clone(), !whiteTurn);
+                child.sq[s] = Piece.EMPTY;
+                child.sq[t] = promote(p, t);
+                children.add(child);
+                if (paths != null) paths.add(List.of(step(s, t, false)));
+
+                if (!p.isKing()) break;
+            }
+        }
+    }
+
+    // Русские шашки: взятия фигурой p с клетки s в позиции cur, побитые снимаются сразу;
+    // серия продолжается, пока есть что бить
+    private static boolean russianCaptures(Position cur, int s, Piece p, Move[] path,
+                                           List<Position> children, List<List<Move>> paths) {
+        boolean found = false;
+        for (int d = 0; d < 4; d++) {
+            // Ищем вражескую фигуру: шашка — только соседнюю, дамка — первую на диагонали
+            int e = NEIGHBOR_8[s][d];
+            if (p.isKing()) while (e >= 0 && cur.sq[e] == Piece.EMPTY) e = NEIGHBOR_8[e][d];
+            if (e < 0 || cur.sq[e] == Piece.EMPTY || cur.sq[e].isWhite() == p.isWhite()) continue;
+
+            // Клетки приземления за ней: шашка — одна, дамка — любая свободная
+            int t = NEIGHBOR_8[e][d];
+            while (t >= 0 && cur.sq[t] == Piece.EMPTY) {
+                found = true;
+                Piece moved = promote8(p, t);
+
+                Position next = new Position(cur.variant, cur.sq.clone(), cur.whiteTurn);
+                next.sq[s] = Piece.EMPTY;
+                next.sq[e] = Piece.EMPTY;
+                next.sq[t] = moved;
+
+                Move[] nextPath = null;
+                if (path != null) {
+                    nextPath = Arrays.copyOf(path, path.length + 1);
+                    nextPath[path.length] = cur.step(s, t, true);
+                }
+
+                // Если бить дальше нечего — ход закончен, очередь соперника
+                if (!russianCaptures(next, t, moved, nextPath, children, paths)) {
+                    next.whiteTurn = !next.whiteTurn;
+                    children.add(next);
+                    if (paths != null) paths.add(List.of(nextPath));
+                }
+
+                if (!p.isKing()) break;
+                t = NEIGHBOR_8[t][d];
+            }
+        }
+        return found;
+    }
+
+    // Международные шашки: перебор серий взятий с возвратом на одной рабочей доске.
+    // Побитые остаются на доске до конца хода (помечены в taken), в результат попадают только серии
+    // с наибольшим числом взятых фигур.
+    private final class MaximumCapture {
+        private final List<Position> children;
+        private final List<List<Move>> paths;
+        private final int before;
+
+        private final int[][] neighbor = variant.geometry().neighbors();
+        private final int[][][] ray = variant.geometry().rays();
+        private final Piece[] board = sq.clone();
+        private final boolean[] taken = new boolean[sq.length];
+        private final int[] captured = new int[sq.length];
+        private final List<Move> path = new ArrayList<>();
+
+        private int origin;
+        private int best = 1; // Меньше одного взятия — это не взятие
+
+        MaximumCapture(List<Position> children, List<List<Move>> paths) {
+            this.children = children;
+            this.paths = paths;
+            this.before = children.size();
+        }
+
+        void generate() {
+            for (int s = 0; s < sq.length; s++) {
+                Piece p = sq[s];
+                if (p == Piece.EMPTY || p.isWhite() != whiteTurn) continue;
+
+                // Фигура уходит со своей клетки — через неё можно пройти и даже вернуться на неё
+                origin = s;
+                board[s] = Piece.EMPTY;
+                search(s, p, 0);
+                board[s] = p;
+            }
+        }
+
+        private boolean search(int s, Piece p, int count) {
+            boolean found = false;
+            for (int d = 0; d < 4; d++) {
+                int[] r = ray[s][d];
+                int i = 0;
+                if (p.isKing()) while (i < r.length && board[r[i]] == Piece.EMPTY) i++;
+                if (i >= r.length) continue;
+
+                // Уже побитую фигуру второй раз бить нельзя — она загораживает диагональ
+                int e = r[i];
+                if (board[e] == Piece.EMPTY || board[e].isWhite() == p.isWhite() || taken[e]) continue;
+
+                int t = neighbor[e][d];
+                while (t >= 0 && board[t] == Piece.EMPTY) {
+                    found = true;
+                    taken[e] = true;
+                    captured[count] = e;
+                    if (paths != null) path.add(step(s, t, true));
+
+                    if (!search(t, p, count + 1)) finish(t, p, count + 1);
+
+                    if (paths != null) path.remove(path.size() - 1);
+                    taken[e] = false;
+
+                    if (!p.isKing()) break;
+                    t = neighbor[t][d];
+                }
+            }
+            return found;
+        }
+
+        // Серия закончена на клетке t: снимаем побитые, превращение — только на последней линии
+        private void finish(int t, Piece p, int count) {
+            if (count < best) return;
+            if (count > best) {
+                best = count;
+                children.subList(before, children.size()).clear();
+                if (paths != null) paths.subList(before, paths.size()).clear();
+            }
+
+            Position child = new Position(variant, sq.clone(), !whiteTurn);
+            child.sq[origin] = Piece.EMPTY;
+            for (int i = 0; i < count; i++) child.sq[captured[i]] = Piece.EMPTY;
+            child.sq[t] = promote(p, t);
+
+            // Те же фигуры, взятые в другом порядке с тем же концом, — один и тот же ход.
+            // Если нужны шаги (игра, повтор партий), оставляем все порядки: сыграть можно любым из них
+            if (count > 1 && paths == null) {
+                for (int i = before; i < children.size(); i++)
+                    if (Arrays.equals(children.get(i).sq, child.sq)) return;
+            }
+            children.add(child);
+            if (paths != null) paths.add(List.copyOf(path));
+        }
+    }
+
+    // Превращение в дамку на последней линии доски 8x8
+    private static Piece promote8(Piece p, int t) {
+        if (p == Piece.WHITE_MAN && t < 8) return Piece.WHITE_KING;
+        if (p == Piece.BLACK_MAN && t >= 56) return Piece.BLACK_KING;
+        return p;
+    }
+
+    // Превращение в дамку на последней линии
+    private Piece promote(Piece p, int t) {
+        if (p == Piece.WHITE_MAN && t < variant.size()) return Piece.WHITE_KING;
+        if (p == Piece.BLACK_MAN && t >= sq.length - variant.size()) return Piece.BLACK_KING;
+        return p;
+    }
+
+    private Move step(int from, int to, boolean capture) {
+        BoardGeometry geo = variant.geometry();
+        return new Move(geo.row(from), geo.col(from), geo.row(to), geo.col(to), capture);
+    }
+}
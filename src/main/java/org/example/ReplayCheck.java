@@ -0,0 +1,60 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Проверка повтора записанных партий (BatchAnalyzer.replay): каждая партия повторяется ход за ходом,
+ * восстановленные полные ходы сравниваются с эталонной записью.
+ * В наборе — случаи, на которых повтор уже ошибался:
+ * RUSSIAN — взятие в один шаг ("f6:h4") с теми же концами, что и у более длинной серии;
+ * INTERNATIONAL — серия взятий, записанная только началом и концом ("28x30").
+ *
+ * Запуск: ReplayCheck (без аргументов).
+ */
+public class ReplayCheck {
+
+    // Партия (ходы через пробел, без номеров) и её запись с восстановленными полными ходами
+    private record Game(Variant variant, String moves, String expected) {
+        Game(Variant variant, String moves) {
+            this(variant, moves, moves);
+        }
+    }
+
+    private static final List<Game> GAMES = List.of(
+            new Game(Variant.RUSSIAN,
+                    "c3-b4 d6-e5 d2-c3 f6-g5 e3-f4 g5:e3 f2:d4:f6 g7:e5 c1-d2 h6-g5 g1-f2 e7-d6 b4-a5 d8-e7 "
+                            + "d2-e3 e5-d4 e3:c5 b6:d4 c3:e5 d6:f4 g3:e5 a7-b6 e5-f6 b8-a7 f6:h4 f8-g7"),
+            new Game(Variant.INTERNATIONAL,
+                    "34-29 17-21 35-30 18-23 29x18 12x23 33-28 20-25 40-34 21-27 31x22 19-24 30x19 13x24 28x30 8-13",
+                    "34-29 17-21 35-30 18-23 29x18 12x23 33-28 20-25 40-34 21-27 31x22 19-24 30x19 13x24 28x19x30 8-13")
+    );
+
+    public static void main(String[] args) {
+        boolean ok = true;
+        for (Game g : GAMES) {
+            String actual;
+            try {
+                actual = replay(g);
+            } catch (IllegalArgumentException e) {
+                actual = "ERROR: " + e.getMessage();
+            }
+
+            boolean same = actual.equals(g.expected());
+            if (!same) ok = false;
+            System.out.println(g.variant().title() + ": " + (same ? "ok" : "ОЖИДАЛОСЬ " + g.expected() + ", получено " + actual));
+        }
+        System.out.println(ok ? "все партии повторены" : "ЕСТЬ РАСХОЖДЕНИЯ");
+    }
+
+    // Повтор партии с начальной позиции; результат — запись сыгранных полных ходов
+    private static String replay(Game g) {
+        CheckersGame game = new CheckersGame(g.variant());
+        List<String> played = new ArrayList<>();
+        String[] moves = g.moves().split(" ");
+        for (int i = 0; i < moves.length; i++) {
+            played.add(Notation.format(BatchAnalyzer.replay(game, moves[i], i), g.variant()));
+        }
+        return String.join(" ", played);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example;
+
+// Вариант правил.
+// RUSSIAN — русские шашки 8x8 в том виде, как они реализованы в CheckersGame: побитые снимаются сразу,
+//           шашка, ставшая дамкой посреди серии взятий, продолжает бить уже как дамка.
+// INTERNATIONAL — международные шашки 10x10: обязательно взятие наибольшего числа фигур,
+//           побитые снимаются после хода (и через них нельзя перепрыгнуть повторно),
+//           в дамки шашка выходит, только если заканчивает ход на последней линии.
+public enum Variant {
+    RUSSIAN("Русские шашки", BoardGeometry.SIZE_8, 3),
+    INTERNATIONAL("Международные шашки", BoardGeometry.SIZE_10, 4);
+
+    private final String title;
+    private final BoardGeometry geometry;
+    private final int menRows; // Сколько рядов шашек у каждой стороны в начальной позиции
+
+    Variant(String title, BoardGeometry geometry, int menRows) {
+        this.title = title;
+        this.geometry = geometry;
+        this.menRows = menRows;
+    }
+
+    public String title() { return title; }
+
+    public BoardGeometry geometry() { return geometry; }
+
+    public int size() { return geometry.size(); }
+
+    public int menRows() { return menRows; }
+}